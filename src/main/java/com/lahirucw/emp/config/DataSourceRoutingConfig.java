@@ -0,0 +1,129 @@
+package com.lahirucw.emp.config;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Properties;
+
+import javax.sql.DataSource;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.jdbc.DataSourceBuilder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.scheduling.annotation.Scheduled;
+
+import com.zaxxer.hikari.HikariDataSource;
+
+/**
+ * Replaces the single auto-configured datasource with a primary/replica router
+ * when {@code app.datasource.routing.enabled=true}. Never lazily initialized, so
+ * replica health checks are scheduled at startup.
+ */
+@Configuration
+@Lazy(false)
+@EnableConfigurationProperties(ReplicaDataSourceProperties.class)
+@ConditionalOnProperty(prefix = "app.datasource.routing", name = "enabled", havingValue = "true")
+public class DataSourceRoutingConfig {
+
+    private final ReplicaDataSourceProperties replicaProperties;
+    private final ObjectProvider<ReplicationRoutingDataSource> routingDataSourceProvider;
+
+    public DataSourceRoutingConfig(ReplicaDataSourceProperties replicaProperties,
+            ObjectProvider<ReplicationRoutingDataSource> routingDataSourceProvider) {
+        this.replicaProperties = replicaProperties;
+        this.routingDataSourceProvider = routingDataSourceProvider;
+    }
+
+    /**
+     * The primary pool, built from {@code spring.datasource.*} and tuned by
+     * {@code spring.datasource.hikari.*} like the auto-configured pool it replaces.
+     */
+    @Bean(destroyMethod = "close")
+    @ConfigurationProperties(prefix = "spring.datasource.hikari")
+    public HikariDataSource primaryDataSource(DataSourceProperties primaryProperties) {
+        HikariDataSource primary = primaryProperties.initializeDataSourceBuilder()
+                .type(HikariDataSource.class)
+                .build();
+        primary.setPoolName("primary");
+        return primary;
+    }
+
+    /**
+     * Replica pools are owned by the returned router, which closes them on shutdown.
+     */
+    @Bean
+    public ReplicationRoutingDataSource routingDataSource(HikariDataSource primaryDataSource) {
+        Map<String, DataSource> replicas = new LinkedHashMap<>();
+        Map<String, ReplicaDataSourceProperties.Replica> settings = new LinkedHashMap<>();
+        int index = 0;
+        for (ReplicaDataSourceProperties.Replica replica : replicaProperties.getReplicas()) {
+            String key = "replica-" + index++;
+            replicas.put(key, createReplica(key, replica));
+            settings.put(key, replica);
+        }
+
+        return new ReplicationRoutingDataSource(primaryDataSource, replicas,
+                replicaProperties.getRouting().getStickyWindow(),
+                (key, timeoutSeconds) -> probe(settings.get(key), timeoutSeconds));
+    }
+
+    @Bean
+    @Primary
+    public DataSource dataSource(ReplicationRoutingDataSource routingDataSource) {
+        return new LazyConnectionDataSourceProxy(routingDataSource);
+    }
+
+    @Scheduled(fixedDelayString = "${app.datasource.routing.health-check-interval:5s}")
+    public void checkReplicaHealth() {
+        int timeoutSeconds = (int) Math.max(1, replicaProperties.getRouting().getHealthCheckTimeout().toSeconds());
+        routingDataSourceProvider.getObject().checkReplicas(timeoutSeconds);
+    }
+
+    /**
+     * Opens a dedicated connection outside the replica pool, so the check is not
+     * queued behind application queries when the pool is busy.
+     */
+    private static boolean probe(ReplicaDataSourceProperties.Replica replica, int timeoutSeconds) {
+        Properties info = new Properties();
+        if (replica.getUsername() != null) {
+            info.setProperty("user", replica.getUsername());
+        }
+        if (replica.getPassword() != null) {
+            info.setProperty("password", replica.getPassword());
+        }
+        // PostgreSQL JDBC driver settings, in seconds.
+        info.setProperty("connectTimeout", String.valueOf(timeoutSeconds));
+        info.setProperty("loginTimeout", String.valueOf(timeoutSeconds));
+        info.setProperty("socketTimeout", String.valueOf(timeoutSeconds));
+        info.setProperty("ApplicationName", "replica-health-check");
+        try (Connection connection = DriverManager.getConnection(replica.getUrl(), info)) {
+            return connection.isValid(timeoutSeconds);
+        } catch (SQLException ex) {
+            return false;
+        }
+    }
+
+    private static HikariDataSource createReplica(String poolName, ReplicaDataSourceProperties.Replica replica) {
+        HikariDataSource dataSource = DataSourceBuilder.create()
+                .type(HikariDataSource.class)
+                .url(replica.getUrl())
+                .username(replica.getUsername())
+                .password(replica.getPassword())
+                .build();
+        dataSource.setPoolName(poolName);
+        dataSource.setReadOnly(true);
+        dataSource.setMaximumPoolSize(replica.getMaximumPoolSize());
+        dataSource.setConnectionTimeout(replica.getConnectionTimeout().toMillis());
+        return dataSource;
+    }
+}
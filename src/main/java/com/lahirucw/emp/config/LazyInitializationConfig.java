@@ -0,0 +1,28 @@
+package com.lahirucw.emp.config;
+
+import javax.sql.DataSource;
+
+import org.springframework.boot.LazyInitializationExcludeFilter;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.repository.Repository;
+import org.springframework.data.repository.core.support.RepositoryFactoryBeanSupport;
+import org.springframework.orm.jpa.AbstractEntityManagerFactoryBean;
+
+import jakarta.persistence.EntityManagerFactory;
+
+/**
+ * Keeps the persistence layer eager when {@code spring.main.lazy-initialization}
+ * is on (the {@code prod} profile). Otherwise the datasource, the entity manager
+ * factory and the repositories would be built, and their mapping errors found,
+ * on the first request instead of at startup and in the CDS training run.
+ */
+@Configuration
+public class LazyInitializationConfig {
+
+    @Bean
+    static LazyInitializationExcludeFilter persistenceLazyInitializationExcludeFilter() {
+        return LazyInitializationExcludeFilter.forBeanTypes(DataSource.class, EntityManagerFactory.class,
+                AbstractEntityManagerFactoryBean.class, Repository.class, RepositoryFactoryBeanSupport.class);
+    }
+}
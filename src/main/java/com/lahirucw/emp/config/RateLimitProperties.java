@@ -0,0 +1,62 @@
+package com.lahirucw.emp.config;
+
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.validation.annotation.Validated;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Positive;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Settings for the per-client rate limiter and the global concurrency limiter.
+ * Quotas are keyed by lower-case role name without the {@code ROLE_} prefix
+ * (e.g. admin, user); other clients get the default quota. Validated at
+ * startup, so a zero rate or burst fails the boot instead of the first request.
+ */
+@Data
+@Validated
+@ConfigurationProperties(prefix = "app.rate-limit")
+public class RateLimitProperties {
+
+    private boolean enabled = true;
+
+    private String apiKeyHeader = "X-API-Key";
+
+    /** API keys recognised as clients; any other key is ignored and the remote address is used. */
+    private Set<String> apiKeys = new HashSet<>();
+
+    /** Keep below the Hikari pool size so requests are shed before the pool is exhausted. */
+    @Min(1)
+    private int maxConcurrentRequests = 8;
+
+    /** Hard cap on tracked clients; new clients are shed with 503 while it is reached. */
+    @Min(1)
+    private int maxTrackedClients = 10_000;
+
+    @Valid
+    @NotNull
+    private Quota defaultQuota = new Quota(10, 20);
+
+    private Map<String, @Valid Quota> quotas = new HashMap<>();
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Quota {
+        @Positive
+        private double requestsPerSecond;
+
+        @Min(1)
+        private int burst;
+    }
+}
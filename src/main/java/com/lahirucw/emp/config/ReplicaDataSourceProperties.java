@@ -0,0 +1,44 @@
+package com.lahirucw.emp.config;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import lombok.Data;
+
+/**
+ * Settings for read/write datasource routing. The primary datasource keeps using
+ * the standard {@code spring.datasource.*} properties; read replicas are listed
+ * under {@code app.datasource.replicas[n].*}.
+ */
+@Data
+@ConfigurationProperties(prefix = "app.datasource")
+public class ReplicaDataSourceProperties {
+
+    private List<Replica> replicas = new ArrayList<>();
+
+    private Routing routing = new Routing();
+
+    @Data
+    public static class Replica {
+        private String url;
+        private String username;
+        private String password;
+        private int maximumPoolSize = 10;
+        private Duration connectionTimeout = Duration.ofSeconds(2);
+    }
+
+    @Data
+    public static class Routing {
+        private boolean enabled = false;
+
+        /** How long a client's reads stay on the primary after it writes. */
+        private Duration stickyWindow = Duration.ofSeconds(5);
+
+        private Duration healthCheckInterval = Duration.ofSeconds(5);
+
+        private Duration healthCheckTimeout = Duration.ofSeconds(2);
+    }
+}
@@ -0,0 +1,192 @@
+package com.lahirucw.emp.config;
+
+import java.net.SocketException;
+import java.net.UnknownHostException;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import javax.sql.DataSource;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.security.authentication.AnonymousAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Routes connections between the primary and the read replicas.
+ *
+ * Read-only transactions go to a healthy replica (round robin), everything else
+ * goes to the primary. A client whose write transaction has just committed keeps
+ * reading from the primary for {@code stickyWindow} so it sees its own writes
+ * despite replication lag. A replica is skipped once a health check or a connection attempt shows it
+ * unreachable (SQLState class {@code 08} or a socket error), until a later health
+ * check reaches it again. Other failures, such as a pool timeout while every
+ * replica connection is busy, are thrown to the caller and do not move reads to
+ * the primary.
+ *
+ * Must be wrapped in a {@link org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy}
+ * so the read-only flag of the transaction is known when the connection is fetched.
+ * Owns the replica pools and closes them on shutdown; the primary pool is left
+ * to its own bean.
+ */
+public class ReplicationRoutingDataSource extends AbstractRoutingDataSource implements DisposableBean {
+
+    static final String PRIMARY = "primary";
+
+    private static final Logger log = LoggerFactory.getLogger(ReplicationRoutingDataSource.class);
+
+    private final List<String> replicaKeys;
+    private final long stickyWindowNanos;
+    private final Set<String> unhealthyReplicas = ConcurrentHashMap.newKeySet();
+    private final Map<String, Long> lastWriteByClient = new ConcurrentHashMap<>();
+    private final AtomicInteger nextReplica = new AtomicInteger();
+    private final ReplicaProbe probe;
+
+    public ReplicationRoutingDataSource(DataSource primary, Map<String, DataSource> replicas, Duration stickyWindow,
+            ReplicaProbe probe) {
+        this.replicaKeys = List.copyOf(replicas.keySet());
+        this.stickyWindowNanos = stickyWindow.toNanos();
+        this.probe = probe;
+
+        Map<Object, Object> targets = new HashMap<>(replicas);
+        targets.put(PRIMARY, primary);
+        setTargetDataSources(targets);
+        setDefaultTargetDataSource(primary);
+        setLenientFallback(false);
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        String client = currentClient();
+        if (!TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            if (client != null && TransactionSynchronizationManager.isSynchronizationActive()) {
+                recordWriteOnCommit(client);
+            }
+            return PRIMARY;
+        }
+        if (client != null && wroteRecently(client)) {
+            return PRIMARY;
+        }
+        return nextHealthyReplica();
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        Object key = determineCurrentLookupKey();
+        try {
+            return getResolvedDataSources().get(key).getConnection();
+        } catch (SQLException ex) {
+            if (PRIMARY.equals(key) || !isConnectivityFailure(ex)) {
+                throw ex;
+            }
+            log.warn("Replica '{}' unavailable, failing over to primary: {}", key, ex.getMessage());
+            unhealthyReplicas.add((String) key);
+            return getResolvedDataSources().get(PRIMARY).getConnection();
+        }
+    }
+
+    /**
+     * Probes every replica and updates its health state. Also drops
+     * read-your-writes markers whose window has expired.
+     */
+    public void checkReplicas(int timeoutSeconds) {
+        for (String key : replicaKeys) {
+            boolean healthy = probe.isReachable(key, timeoutSeconds);
+            if (healthy && unhealthyReplicas.remove(key)) {
+                log.info("Replica '{}' is healthy again", key);
+            } else if (!healthy && unhealthyReplicas.add(key)) {
+                log.warn("Replica '{}' failed health check", key);
+            }
+        }
+        long now = System.nanoTime();
+        lastWriteByClient.values().removeIf(writtenAt -> now - writtenAt >= stickyWindowNanos);
+    }
+
+    @Override
+    public void destroy() throws Exception {
+        for (String key : replicaKeys) {
+            if (getResolvedDataSources().get(key) instanceof AutoCloseable replica) {
+                replica.close();
+            }
+        }
+    }
+
+    boolean isHealthy(String replicaKey) {
+        return !unhealthyReplicas.contains(replicaKey);
+    }
+
+    static boolean isConnectivityFailure(SQLException ex) {
+        for (Throwable cause = ex; cause != null; cause = cause.getCause()) {
+            if (cause instanceof SQLException sqlException && sqlException.getSQLState() != null
+                    && sqlException.getSQLState().startsWith("08")) {
+                return true;
+            }
+            if (cause instanceof SocketException || cause instanceof UnknownHostException) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private String nextHealthyReplica() {
+        int size = replicaKeys.size();
+        int start = Math.floorMod(nextReplica.getAndIncrement(), Math.max(size, 1));
+        for (int i = 0; i < size; i++) {
+            String key = replicaKeys.get((start + i) % size);
+            if (isHealthy(key)) {
+                return key;
+            }
+        }
+        return PRIMARY;
+    }
+
+    /**
+     * Starts the read-your-writes window when the transaction commits, not when
+     * its connection is fetched. A long write transaction would otherwise use up
+     * the window before its changes are visible anywhere.
+     */
+    private void recordWriteOnCommit(String client) {
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                lastWriteByClient.put(client, System.nanoTime());
+            }
+        });
+    }
+
+    private boolean wroteRecently(String client) {
+        Long writtenAt = lastWriteByClient.get(client);
+        return writtenAt != null && System.nanoTime() - writtenAt < stickyWindowNanos;
+    }
+
+    private static String currentClient() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication == null || !authentication.isAuthenticated()
+                || authentication instanceof AnonymousAuthenticationToken) {
+            return null;
+        }
+        return authentication.getName();
+    }
+
+    /**
+     * Checks whether a replica accepts connections. Implementations should open a
+     * connection of their own rather than borrow from the replica's pool, so a
+     * busy pool is not mistaken for an unreachable server.
+     */
+    @FunctionalInterface
+    public interface ReplicaProbe {
+        boolean isReachable(String replicaKey, int timeoutSeconds);
+    }
+}
@@ -1,6 +1,7 @@
 package com.lahirucw.emp.controller;
 
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 import org.springframework.beans.factory.annotation.Autowired;
@@ -14,7 +15,6 @@ import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
-import org.springframework.web.bind.annotation.ResponseStatus;
 import org.springframework.web.bind.annotation.RestController;
 
 import com.lahirucw.emp.dto.CreateEmployeeDTO;
@@ -22,7 +22,9 @@ import com.lahirucw.emp.dto.EmployeeDTO;
 import com.lahirucw.emp.dto.UpdateEmployeeDTO;
 import com.lahirucw.emp.mapper.EmployeeMapper;
 import com.lahirucw.emp.model.Employee;
+import com.lahirucw.emp.service.DuplicateEmailException;
 import com.lahirucw.emp.service.EmployeeService;
+import com.lahirucw.emp.service.EmployeeStatsService;
 
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.security.SecurityRequirement;
@@ -39,6 +41,9 @@ public class EmployeeController {
     @Autowired
     private EmployeeService employeeService;
 
+    @Autowired
+    private EmployeeStatsService employeeStatsService;
+
     /**
      * Retrieves a list of all employees.
      * Accessible by users with 'USER' or 'ADMIN' roles.
@@ -58,6 +63,60 @@ public class EmployeeController {
         return EmployeeMapper.toDTOList(employees);
     }
 
+    /**
+     * Retrieves the number of employees in each department.
+     * Accessible by users with 'USER' or 'ADMIN' roles.
+     *
+     * @return A map of department name to employee count.
+     */
+    @Operation(summary = "Count employees by department", description = "Retrieve the number of employees in each department", responses = {
+            @ApiResponse(responseCode = "200", description = "Successfully retrieved counts"),
+            @ApiResponse(responseCode = "401", description = "Unauthorized - Authentication required"),
+            @ApiResponse(responseCode = "403", description = "Forbidden - Insufficient privileges")
+    })
+    @SecurityRequirement(name = "bearerAuth")
+    @GetMapping("/stats/departments")
+    @PreAuthorize("hasRole('USER') or hasRole('ADMIN')")
+    public Map<String, Long> getCountsByDepartment() {
+        return employeeStatsService.getCountsByDepartment();
+    }
+
+    /**
+     * Retrieves the number of employees in each role.
+     * Accessible by users with 'USER' or 'ADMIN' roles.
+     *
+     * @return A map of role to employee count.
+     */
+    @Operation(summary = "Count employees by role", description = "Retrieve the number of employees in each role", responses = {
+            @ApiResponse(responseCode = "200", description = "Successfully retrieved counts"),
+            @ApiResponse(responseCode = "401", description = "Unauthorized - Authentication required"),
+            @ApiResponse(responseCode = "403", description = "Forbidden - Insufficient privileges")
+    })
+    @SecurityRequirement(name = "bearerAuth")
+    @GetMapping("/stats/roles")
+    @PreAuthorize("hasRole('USER') or hasRole('ADMIN')")
+    public Map<String, Long> getCountsByRole() {
+        return employeeStatsService.getCountsByRole();
+    }
+
+    /**
+     * Retrieves the number of employees in each role, grouped by department.
+     * Accessible by users with 'USER' or 'ADMIN' roles.
+     *
+     * @return A map of department name to a map of role to employee count.
+     */
+    @Operation(summary = "Count employees by department and role", description = "Retrieve the number of employees in each role within each department", responses = {
+            @ApiResponse(responseCode = "200", description = "Successfully retrieved counts"),
+            @ApiResponse(responseCode = "401", description = "Unauthorized - Authentication required"),
+            @ApiResponse(responseCode = "403", description = "Forbidden - Insufficient privileges")
+    })
+    @SecurityRequirement(name = "bearerAuth")
+    @GetMapping("/stats/departments/roles")
+    @PreAuthorize("hasRole('USER') or hasRole('ADMIN')")
+    public Map<String, Map<String, Long>> getCountsByDepartmentAndRole() {
+        return employeeStatsService.getCountsByDepartmentAndRole();
+    }
+
     /**
      * Retrieves an employee by their ID.
      * Accessible by users with 'USER' or 'ADMIN' roles.
@@ -85,22 +144,27 @@ public class EmployeeController {
      * Accessible only by users with the 'ADMIN' role.
      *
      * @param createEmployeeDTO The DTO containing the details for the new employee.
-     * @return The created EmployeeDTO with a 201 Created status.
+     * @return ResponseEntity containing the created EmployeeDTO with a 201 Created
+     *         status, or a 409 Conflict status if the email is already in use.
      */
     @Operation(summary = "Create a new employee", description = "Create a new employee record", responses = {
             @ApiResponse(responseCode = "201", description = "Employee created successfully", content = @Content(mediaType = "application/json", schema = @Schema(implementation = EmployeeDTO.class))),
             @ApiResponse(responseCode = "400", description = "Invalid input"),
+            @ApiResponse(responseCode = "409", description = "Email already in use"),
             @ApiResponse(responseCode = "401", description = "Unauthorized - Authentication required"),
             @ApiResponse(responseCode = "403", description = "Forbidden - Requires ADMIN role")
     })
     @SecurityRequirement(name = "bearerAuth")
     @PostMapping
     @PreAuthorize("hasRole('ADMIN')")
-    @ResponseStatus(HttpStatus.CREATED)
-    public EmployeeDTO createEmployee(@RequestBody CreateEmployeeDTO createEmployeeDTO) {
+    public ResponseEntity<EmployeeDTO> createEmployee(@RequestBody CreateEmployeeDTO createEmployeeDTO) {
         Employee employee = EmployeeMapper.toEntity(createEmployeeDTO);
-        employee = employeeService.createEmployee(employee);
-        return EmployeeMapper.toDTO(employee);
+        try {
+            employee = employeeService.createEmployee(employee);
+        } catch (DuplicateEmailException ex) {
+            return ResponseEntity.status(HttpStatus.CONFLICT).build();
+        }
+        return ResponseEntity.status(HttpStatus.CREATED).body(EmployeeMapper.toDTO(employee));
     }
 
     /**
@@ -109,13 +173,14 @@ public class EmployeeController {
      *
      * @param id                The ID of the employee to update.
      * @param updateEmployeeDTO The DTO containing the updated employee details.
-     * @return ResponseEntity containing the updated EmployeeDTO or a 404 Not Found
-     *         status.
+     * @return ResponseEntity containing the updated EmployeeDTO, a 404 Not Found
+     *         status, or a 409 Conflict status if the email is already in use.
      */
     @Operation(summary = "Update an existing employee", description = "Update details of an existing employee by ID", responses = {
             @ApiResponse(responseCode = "200", description = "Employee updated successfully", content = @Content(mediaType = "application/json", schema = @Schema(implementation = EmployeeDTO.class))),
             @ApiResponse(responseCode = "400", description = "Invalid input"),
             @ApiResponse(responseCode = "404", description = "Employee not found"),
+            @ApiResponse(responseCode = "409", description = "Email already in use"),
             @ApiResponse(responseCode = "401", description = "Unauthorized - Authentication required"),
             @ApiResponse(responseCode = "403", description = "Forbidden - Requires ADMIN role")
     })
@@ -124,14 +189,12 @@ public class EmployeeController {
     @PreAuthorize("hasRole('ADMIN')")
     public ResponseEntity<EmployeeDTO> updateEmployee(@PathVariable Long id,
             @RequestBody UpdateEmployeeDTO updateEmployeeDTO) {
-        Optional<Employee> employeeOptional = employeeService.getEmployeeById(id);
-        if (employeeOptional.isPresent()) {
-            Employee employee = employeeOptional.get();
-            EmployeeMapper.updateEntityFromDTO(updateEmployeeDTO, employee);
-            employee = employeeService.updateEmployee(id, employee);
-            return ResponseEntity.ok(EmployeeMapper.toDTO(employee));
-        } else {
-            return ResponseEntity.notFound().build();
+        try {
+            return employeeService.updateEmployee(id, updateEmployeeDTO)
+                    .map(employee -> ResponseEntity.ok(EmployeeMapper.toDTO(employee)))
+                    .orElseGet(() -> ResponseEntity.notFound().build());
+        } catch (DuplicateEmailException ex) {
+            return ResponseEntity.status(HttpStatus.CONFLICT).build();
         }
     }
 
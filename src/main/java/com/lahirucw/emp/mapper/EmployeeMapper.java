@@ -37,6 +37,7 @@ public class EmployeeMapper {
         employee.setLastName(dto.getLastName());
         employee.setRole(dto.getRole());
         employee.setEmail(dto.getEmail());
+        employee.setDepartment(dto.getDepartment());
         return employee;
     }
 
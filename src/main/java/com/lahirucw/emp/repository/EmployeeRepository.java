@@ -1,7 +1,38 @@
 package com.lahirucw.emp.repository;
 
+import java.util.List;
+import java.util.Optional;
+
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
 import com.lahirucw.emp.model.Employee;
 
+import jakarta.persistence.LockModeType;
+
 public interface EmployeeRepository extends JpaRepository<Employee, Long> {
-}
\ No newline at end of file
+
+    boolean existsByEmail(String email);
+
+    boolean existsByEmailAndIdNot(String email, long id);
+
+    /** Loads the row with SELECT ... FOR UPDATE; call inside a write transaction. */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select e from Employee e where e.id = :id")
+    Optional<Employee> findByIdForUpdate(@Param("id") Long id);
+
+    @Transactional(readOnly = true)
+    @Query("select e.department as department, e.role as role, count(e) as total "
+            + "from Employee e group by e.department, e.role")
+    List<DepartmentRoleCount> countByDepartmentAndRole();
+
+    interface DepartmentRoleCount {
+        String getDepartment();
+
+        String getRole();
+
+        long getTotal();
+    }
+}
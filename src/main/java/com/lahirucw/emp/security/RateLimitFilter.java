@@ -0,0 +1,169 @@
+package com.lahirucw.emp.security;
+
+import java.io.IOException;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.security.authentication.AnonymousAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import com.lahirucw.emp.config.RateLimitProperties;
+import com.lahirucw.emp.config.RateLimitProperties.Quota;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+/**
+ * Admission control for {@code /api/**}. Each client (authenticated principal,
+ * else a configured API key, else remote address) gets a token bucket sized by
+ * its role's quota; requests over quota get 429. Independently, a global
+ * in-flight cap sheds load with 503 before the database connection pool runs dry.
+ *
+ * At most {@code maxTrackedClients} buckets are kept. When the cap is reached,
+ * idle buckets are evicted by a scan that runs at most once per second; if that
+ * frees nothing, requests from new clients get 503 until it does.
+ *
+ * Buckets are kept in one map per kind of client (principals by role, API keys,
+ * remote addresses), keyed by the principal name, key or address as the request
+ * already holds it, so an admitted request builds no lookup key.
+ *
+ * Registered in {@link com.lahirucw.emp.config.SecurityConfig} after
+ * authentication so the principal is known.
+ */
+public class RateLimitFilter extends OncePerRequestFilter {
+
+    private static final long EVICTION_INTERVAL_NANOS = TimeUnit.SECONDS.toNanos(1);
+
+    static final String API_KEY = "api-key";
+    static final String REMOTE_ADDRESS = "remote-address";
+    private static final String ANONYMOUS = "anonymous";
+
+    private final RateLimitProperties properties;
+    private final ConcurrencyLimiter concurrencyLimiter;
+    private final Map<String, Map<String, TokenBucket>> buckets = Map.of(
+            "admin", new ConcurrentHashMap<>(),
+            "user", new ConcurrentHashMap<>(),
+            "default", new ConcurrentHashMap<>(),
+            API_KEY, new ConcurrentHashMap<>(),
+            REMOTE_ADDRESS, new ConcurrentHashMap<>());
+    private final AtomicLong lastEviction = new AtomicLong(System.nanoTime() - EVICTION_INTERVAL_NANOS);
+
+    public RateLimitFilter(RateLimitProperties properties) {
+        this.properties = properties;
+        this.concurrencyLimiter = new ConcurrencyLimiter(properties.getMaxConcurrentRequests());
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !properties.isEnabled()
+                || !request.getRequestURI().startsWith("/api/", request.getContextPath().length());
+    }
+
+    /**
+     * Takes the concurrency permit before the client's token, so a request shed
+     * with 503 does not also count against the client's quota.
+     */
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        if (!concurrencyLimiter.tryAcquire()) {
+            reject(response, HttpStatus.SERVICE_UNAVAILABLE, 1L);
+            return;
+        }
+        try {
+            long now = System.nanoTime();
+            Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+            TokenBucket bucket;
+            if (isAuthenticated(authentication)) {
+                bucket = bucketFor(resolveRole(authentication), authentication.getName(), now);
+            } else {
+                String apiKey = request.getHeader(properties.getApiKeyHeader());
+                bucket = apiKey != null && properties.getApiKeys().contains(apiKey)
+                        ? bucketFor(API_KEY, apiKey, now)
+                        : bucketFor(REMOTE_ADDRESS, request.getRemoteAddr(), now);
+            }
+
+            if (bucket == null) {
+                reject(response, HttpStatus.SERVICE_UNAVAILABLE, 1L);
+                return;
+            }
+            if (!bucket.tryAcquire(now)) {
+                long retryAfterSeconds = Math.max(1L, TimeUnit.NANOSECONDS.toSeconds(bucket.nanosUntilAvailable(now) + 999_999_999L));
+                reject(response, HttpStatus.TOO_MANY_REQUESTS, retryAfterSeconds);
+                return;
+            }
+            filterChain.doFilter(request, response);
+        } finally {
+            concurrencyLimiter.release();
+        }
+    }
+
+    /**
+     * Returns the client's bucket, creating it if needed, or {@code null} when
+     * the client is new and no room could be made for it. The kind is a role
+     * name for principals, else {@link #API_KEY} or {@link #REMOTE_ADDRESS}.
+     */
+    TokenBucket bucketFor(String kind, String client, long now) {
+        Map<String, TokenBucket> clients = buckets.get(kind);
+        TokenBucket bucket = clients.get(client);
+        if (bucket != null) {
+            return bucket;
+        }
+        if (trackedClients() >= properties.getMaxTrackedClients() && !evictIdleBuckets(now)) {
+            return null;
+        }
+        String role = API_KEY.equals(kind) || REMOTE_ADDRESS.equals(kind) ? ANONYMOUS : kind;
+        Quota quota = properties.getQuotas().getOrDefault(role, properties.getDefaultQuota());
+        return clients.computeIfAbsent(client,
+                k -> new TokenBucket(quota.getRequestsPerSecond(), quota.getBurst(), now));
+    }
+
+    private int trackedClients() {
+        int tracked = 0;
+        for (Map<String, TokenBucket> clients : buckets.values()) {
+            tracked += clients.size();
+        }
+        return tracked;
+    }
+
+    private boolean evictIdleBuckets(long now) {
+        long last = lastEviction.get();
+        if (now - last >= EVICTION_INTERVAL_NANOS && lastEviction.compareAndSet(last, now)) {
+            for (Map<String, TokenBucket> clients : buckets.values()) {
+                clients.values().removeIf(existing -> existing.isFull(now));
+            }
+        }
+        return trackedClients() < properties.getMaxTrackedClients();
+    }
+
+    private static String resolveRole(Authentication authentication) {
+        boolean user = false;
+        for (GrantedAuthority authority : authentication.getAuthorities()) {
+            String name = authority.getAuthority();
+            if ("ROLE_ADMIN".equals(name)) {
+                return "admin";
+            }
+            user |= "ROLE_USER".equals(name);
+        }
+        return user ? "user" : "default";
+    }
+
+    private static boolean isAuthenticated(Authentication authentication) {
+        return authentication != null && authentication.isAuthenticated()
+                && !(authentication instanceof AnonymousAuthenticationToken);
+    }
+
+    private static void reject(HttpServletResponse response, HttpStatus status, long retryAfterSeconds) {
+        response.setStatus(status.value());
+        response.setHeader(HttpHeaders.RETRY_AFTER, Long.toString(retryAfterSeconds));
+    }
+}
@@ -0,0 +1,47 @@
+package com.lahirucw.emp.security;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Lock-free token bucket implemented as a generic cell rate algorithm: the
+ * whole bucket state is a single "theoretical arrival time" updated by CAS, so
+ * acquiring a token never blocks and never allocates.
+ */
+public final class TokenBucket {
+
+    private final long emissionIntervalNanos;
+    private final long burstToleranceNanos;
+    private final AtomicLong theoreticalArrival;
+
+    public TokenBucket(double tokensPerSecond, int burst, long nowNanos) {
+        if (tokensPerSecond <= 0 || burst < 1) {
+            throw new IllegalArgumentException("tokensPerSecond must be positive and burst at least 1");
+        }
+        this.emissionIntervalNanos = Math.max(1L, (long) (1_000_000_000L / tokensPerSecond));
+        this.burstToleranceNanos = emissionIntervalNanos * (burst - 1);
+        this.theoreticalArrival = new AtomicLong(nowNanos);
+    }
+
+    public boolean tryAcquire(long nowNanos) {
+        while (true) {
+            long current = theoreticalArrival.get();
+            long base = current - nowNanos > 0 ? current : nowNanos;
+            if (base - nowNanos > burstToleranceNanos) {
+                return false;
+            }
+            if (theoreticalArrival.compareAndSet(current, base + emissionIntervalNanos)) {
+                return true;
+            }
+        }
+    }
+
+    /** Nanoseconds until the next token becomes available, or 0 if one is available now. */
+    public long nanosUntilAvailable(long nowNanos) {
+        return Math.max(0L, theoreticalArrival.get() - burstToleranceNanos - nowNanos);
+    }
+
+    /** A full bucket carries no state worth keeping and can be evicted. */
+    public boolean isFull(long nowNanos) {
+        return theoreticalArrival.get() - nowNanos <= 0;
+    }
+}
@@ -0,0 +1,15 @@
+package com.lahirucw.emp.service;
+
+/**
+ * Thrown when a create or update would give two employees the same email.
+ */
+public class DuplicateEmailException extends RuntimeException {
+
+    public DuplicateEmailException(String email) {
+        super("An employee with email " + email + " already exists");
+    }
+
+    public DuplicateEmailException(String email, Throwable cause) {
+        super("An employee with email " + email + " already exists", cause);
+    }
+}
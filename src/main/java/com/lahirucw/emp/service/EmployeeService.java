@@ -4,35 +4,106 @@ import java.util.List;
 import java.util.Optional;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.hibernate.exception.ConstraintViolationException;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import com.lahirucw.emp.dto.UpdateEmployeeDTO;
+import com.lahirucw.emp.mapper.EmployeeMapper;
 import com.lahirucw.emp.model.Employee;
 import com.lahirucw.emp.repository.EmployeeRepository;
 
 @Service
 public class EmployeeService {
+
+    /** Unique email index, or the email lookup table's key on the partitioned layout. */
+    static final String EMAIL_CONSTRAINT = "ux_employee_email";
     
     @Autowired
     private EmployeeRepository employeeRepository;
 
+    @Autowired
+    private EmployeeStatsService employeeStatsService;
+
+    @Transactional(readOnly = true)
     public List<Employee> getAllEmployees(){
         return employeeRepository.findAll();
     }
 
+    @Transactional(readOnly = true)
     public Optional<Employee> getEmployeeById(Long id){
         return employeeRepository.findById(id);
     }
 
+    @Transactional
     public Employee createEmployee(Employee employee){
-        return employeeRepository.save(employee);
+        if (employee.getEmail() != null && employeeRepository.existsByEmail(employee.getEmail())) {
+            throw new DuplicateEmailException(employee.getEmail());
+        }
+        Employee saved = saveAndFlush(employee);
+        employeeStatsService.recordCreated(saved.getDepartment(), saved.getRole());
+        return saved;
     }
 
-    public Employee updateEmployee(Long id, Employee employee){
-        employee.setId(id);
-        return employeeRepository.save(employee);
+    /**
+     * Loads, modifies and saves the employee in one write transaction, so the
+     * update is applied to the current row on the primary rather than to a
+     * possibly stale copy read from a replica. The row is locked when loaded,
+     * so concurrent updates of the same employee see each other's department
+     * and role and record the right stats deltas.
+     */
+    @Transactional
+    public Optional<Employee> updateEmployee(Long id, UpdateEmployeeDTO updateEmployeeDTO){
+        if (updateEmployeeDTO.getEmail() != null
+                && employeeRepository.existsByEmailAndIdNot(updateEmployeeDTO.getEmail(), id)) {
+            throw new DuplicateEmailException(updateEmployeeDTO.getEmail());
+        }
+        Optional<Employee> existing = employeeRepository.findByIdForUpdate(id);
+        if (existing.isEmpty()) {
+            return Optional.empty();
+        }
+        Employee employee = existing.get();
+        String oldDepartment = employee.getDepartment();
+        String oldRole = employee.getRole();
+
+        EmployeeMapper.updateEntityFromDTO(updateEmployeeDTO, employee);
+        Employee saved = saveAndFlush(employee);
+        employeeStatsService.recordUpdated(oldDepartment, oldRole, saved.getDepartment(), saved.getRole());
+        return Optional.of(saved);
     }
 
+    @Transactional
     public void deleteEmployee(Long id){
+        Optional<Employee> existing = employeeRepository.findByIdForUpdate(id);
         employeeRepository.deleteById(id);
+        existing.ifPresent(employee -> employeeStatsService.recordDeleted(employee.getDepartment(), employee.getRole()));
+    }
+
+    /**
+     * Flushes inside the method so a concurrent insert of the same email, which
+     * passes the exists check but hits the unique constraint, is reported as a
+     * duplicate instead of failing at commit.
+     */
+    private Employee saveAndFlush(Employee employee) {
+        try {
+            Employee saved = employeeRepository.save(employee);
+            employeeRepository.flush();
+            return saved;
+        } catch (DataIntegrityViolationException ex) {
+            if (violatesEmailConstraint(ex)) {
+                throw new DuplicateEmailException(employee.getEmail(), ex);
+            }
+            throw ex;
+        }
+    }
+
+    private static boolean violatesEmailConstraint(Throwable ex) {
+        for (Throwable cause = ex; cause != null; cause = cause.getCause()) {
+            if (cause instanceof ConstraintViolationException violation) {
+                return EMAIL_CONSTRAINT.equalsIgnoreCase(violation.getConstraintName());
+            }
+        }
+        return false;
     }
 }
@@ -0,0 +1,216 @@
+package com.lahirucw.emp.service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.lahirucw.emp.repository.EmployeeRepository;
+import com.lahirucw.emp.repository.EmployeeRepository.DepartmentRoleCount;
+
+/**
+ * Employee counts by department, by role and by department and role, kept in
+ * memory so dashboard reads cost O(groups) instead of O(employees).
+ *
+ * Counters are loaded from the database on first use, adjusted after each
+ * committed write made through {@link EmployeeService}, and periodically
+ * replaced by a fresh count from the database. The reconciliation picks up
+ * writes made by other instances or directly in the database. The count query
+ * is a read-only transaction, so with replica routing it runs on a replica.
+ *
+ * Writes recorded while a reload is running are replayed onto the new counts
+ * before they replace the old ones, so they are not lost in the swap. Two
+ * windows remain until the next reload corrects them: a write committed after
+ * the reload starts but before its query takes a snapshot is counted twice, and
+ * a write committed just before the reload starts but not yet visible on the
+ * replica it reads from is missing.
+ *
+ * Never lazily initialized, so the reconciliation is scheduled at startup even
+ * under the {@code prod} profile's lazy initialization.
+ */
+@Service
+@Lazy(false)
+public class EmployeeStatsService {
+
+    static final String UNASSIGNED = "Unassigned";
+
+    @Autowired
+    private EmployeeRepository employeeRepository;
+
+    private volatile Counts counts;
+
+    /** Deltas recorded while a reload runs; guarded by {@link #swapLock}. */
+    private List<Delta> pendingDeltas;
+
+    /** Shared by writers applying deltas, exclusive while a reload starts or swaps. */
+    private final ReadWriteLock swapLock = new ReentrantReadWriteLock();
+
+    private final Object reloadMonitor = new Object();
+
+    public Map<String, Long> getCountsByDepartment() {
+        return snapshot(counts().byDepartment);
+    }
+
+    public Map<String, Long> getCountsByRole() {
+        return snapshot(counts().byRole);
+    }
+
+    public Map<String, Map<String, Long>> getCountsByDepartmentAndRole() {
+        Map<String, Map<String, Long>> result = new TreeMap<>();
+        counts().byDepartmentRole.forEach((department, roles) -> {
+            Map<String, Long> roleCounts = snapshot(roles);
+            if (!roleCounts.isEmpty()) {
+                result.put(department, roleCounts);
+            }
+        });
+        return result;
+    }
+
+    public void recordCreated(String department, String role) {
+        afterCommit(() -> apply(department, role, 1));
+    }
+
+    public void recordUpdated(String oldDepartment, String oldRole, String department, String role) {
+        afterCommit(() -> {
+            apply(oldDepartment, oldRole, -1);
+            apply(department, role, 1);
+        });
+    }
+
+    public void recordDeleted(String department, String role) {
+        afterCommit(() -> apply(department, role, -1));
+    }
+
+    @Scheduled(fixedDelayString = "${app.stats.reconcile-interval:60s}",
+            initialDelayString = "${app.stats.reconcile-interval:60s}")
+    public void reconcile() {
+        reload();
+    }
+
+    private Counts counts() {
+        Counts current = counts;
+        if (current == null) {
+            synchronized (reloadMonitor) {
+                current = counts;
+                if (current == null) {
+                    current = reload();
+                }
+            }
+        }
+        return current;
+    }
+
+    private Counts reload() {
+        synchronized (reloadMonitor) {
+            swapLock.writeLock().lock();
+            try {
+                pendingDeltas = new ArrayList<>();
+            } finally {
+                swapLock.writeLock().unlock();
+            }
+
+            Counts loaded = new Counts();
+            try {
+                for (DepartmentRoleCount row : employeeRepository.countByDepartmentAndRole()) {
+                    loaded.add(row.getDepartment(), row.getRole(), row.getTotal());
+                }
+            } catch (RuntimeException ex) {
+                swapLock.writeLock().lock();
+                try {
+                    pendingDeltas = null;
+                } finally {
+                    swapLock.writeLock().unlock();
+                }
+                throw ex;
+            }
+
+            swapLock.writeLock().lock();
+            try {
+                for (Delta delta : pendingDeltas) {
+                    loaded.add(delta.department(), delta.role(), delta.amount());
+                }
+                pendingDeltas = null;
+                counts = loaded;
+            } finally {
+                swapLock.writeLock().unlock();
+            }
+            return loaded;
+        }
+    }
+
+    private void apply(String department, String role, long delta) {
+        swapLock.readLock().lock();
+        try {
+            // Not loaded yet and no load running: the first read will count this write from the database.
+            Counts current = counts;
+            if (current != null) {
+                current.add(department, role, delta);
+            }
+            List<Delta> pending = pendingDeltas;
+            if (pending != null) {
+                synchronized (pending) {
+                    pending.add(new Delta(department, role, delta));
+                }
+            }
+        } finally {
+            swapLock.readLock().unlock();
+        }
+    }
+
+    private static void afterCommit(Runnable update) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    update.run();
+                }
+            });
+        } else {
+            update.run();
+        }
+    }
+
+    private static Map<String, Long> snapshot(Map<String, LongAdder> counters) {
+        Map<String, Long> result = new TreeMap<>();
+        counters.forEach((group, counter) -> {
+            long count = counter.sum();
+            if (count > 0) {
+                result.put(group, count);
+            }
+        });
+        return result;
+    }
+
+    private static String group(String value) {
+        return value == null || value.isBlank() ? UNASSIGNED : value;
+    }
+
+    private record Delta(String department, String role, long amount) {
+    }
+
+    private static final class Counts {
+        final Map<String, LongAdder> byDepartment = new ConcurrentHashMap<>();
+        final Map<String, LongAdder> byRole = new ConcurrentHashMap<>();
+        final Map<String, Map<String, LongAdder>> byDepartmentRole = new ConcurrentHashMap<>();
+
+        void add(String department, String role, long delta) {
+            String departmentGroup = group(department);
+            String roleGroup = group(role);
+            byDepartment.computeIfAbsent(departmentGroup, k -> new LongAdder()).add(delta);
+            byRole.computeIfAbsent(roleGroup, k -> new LongAdder()).add(delta);
+            byDepartmentRole.computeIfAbsent(departmentGroup, k -> new ConcurrentHashMap<>())
+                    .computeIfAbsent(roleGroup, k -> new LongAdder()).add(delta);
+        }
+    }
+}
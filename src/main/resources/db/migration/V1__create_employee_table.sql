@@ -0,0 +1,10 @@
+-- Matches the table previously created by spring.jpa.hibernate.ddl-auto=update,
+-- so databases that already have it are adopted unchanged.
+CREATE TABLE IF NOT EXISTS employee (
+    id         BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    first_name VARCHAR(255),
+    last_name  VARCHAR(255),
+    email      VARCHAR(255),
+    department VARCHAR(255),
+    role       VARCHAR(255)
+);
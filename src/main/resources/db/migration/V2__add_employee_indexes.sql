@@ -0,0 +1,11 @@
+-- Built CONCURRENTLY so writes to an existing employee table are not blocked,
+-- which means this script runs outside a transaction (see the .sql.conf file).
+-- A failed build leaves an INVALID index that IF NOT EXISTS would skip: drop it
+-- before retrying.
+
+-- Duplicate email check (EmployeeRepository.existsByEmail*) and uniqueness.
+-- Fails if existing rows share an email; resolve duplicates before migrating.
+CREATE UNIQUE INDEX CONCURRENTLY IF NOT EXISTS ux_employee_email ON employee (email);
+
+-- Grouping by department and role (EmployeeRepository.countByDepartmentAndRole).
+CREATE INDEX CONCURRENTLY IF NOT EXISTS ix_employee_department_role ON employee (department, role);
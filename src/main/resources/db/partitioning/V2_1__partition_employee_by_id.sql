@@ -0,0 +1,75 @@
+-- Optional: hash-partition employee by id for very large tenants.
+-- Enable with spring.flyway.locations=classpath:db/migration,classpath:db/partitioning
+-- Versioned 2.1 so it never collides with later versions in db/migration.
+--
+-- PostgreSQL requires unique indexes on a partitioned table to include the
+-- partition key, so email uniqueness moves to the unpartitioned employee_email
+-- table, kept in sync by a trigger. Its key reuses the name ux_employee_email,
+-- so EmployeeService reports violations the same way on both layouts.
+
+ALTER TABLE employee RENAME TO employee_unpartitioned;
+
+-- Drops the identity's owned sequence, which still holds the name employee_id_seq.
+ALTER TABLE employee_unpartitioned ALTER COLUMN id DROP IDENTITY;
+
+CREATE SEQUENCE employee_id_seq;
+
+CREATE TABLE employee (
+    id         BIGINT NOT NULL DEFAULT nextval('employee_id_seq'),
+    first_name VARCHAR(255),
+    last_name  VARCHAR(255),
+    email      VARCHAR(255),
+    department VARCHAR(255),
+    role       VARCHAR(255),
+    PRIMARY KEY (id)
+) PARTITION BY HASH (id);
+
+ALTER SEQUENCE employee_id_seq OWNED BY employee.id;
+
+CREATE TABLE employee_p0 PARTITION OF employee FOR VALUES WITH (MODULUS 8, REMAINDER 0);
+CREATE TABLE employee_p1 PARTITION OF employee FOR VALUES WITH (MODULUS 8, REMAINDER 1);
+CREATE TABLE employee_p2 PARTITION OF employee FOR VALUES WITH (MODULUS 8, REMAINDER 2);
+CREATE TABLE employee_p3 PARTITION OF employee FOR VALUES WITH (MODULUS 8, REMAINDER 3);
+CREATE TABLE employee_p4 PARTITION OF employee FOR VALUES WITH (MODULUS 8, REMAINDER 4);
+CREATE TABLE employee_p5 PARTITION OF employee FOR VALUES WITH (MODULUS 8, REMAINDER 5);
+CREATE TABLE employee_p6 PARTITION OF employee FOR VALUES WITH (MODULUS 8, REMAINDER 6);
+CREATE TABLE employee_p7 PARTITION OF employee FOR VALUES WITH (MODULUS 8, REMAINDER 7);
+
+INSERT INTO employee (id, first_name, last_name, email, department, role)
+SELECT id, first_name, last_name, email, department, role FROM employee_unpartitioned;
+
+SELECT setval('employee_id_seq', COALESCE((SELECT MAX(id) FROM employee), 0) + 1, false);
+
+-- Dropping the old table also frees the index name ux_employee_email.
+DROP TABLE employee_unpartitioned;
+
+CREATE TABLE employee_email (
+    email       VARCHAR(255) NOT NULL,
+    employee_id BIGINT NOT NULL,
+    CONSTRAINT ux_employee_email PRIMARY KEY (email)
+);
+
+CREATE FUNCTION employee_email_sync() RETURNS trigger AS $$
+BEGIN
+    IF TG_OP IN ('UPDATE', 'DELETE') AND OLD.email IS NOT NULL THEN
+        DELETE FROM employee_email WHERE email = OLD.email AND employee_id = OLD.id;
+    END IF;
+    IF TG_OP IN ('INSERT', 'UPDATE') AND NEW.email IS NOT NULL THEN
+        INSERT INTO employee_email (email, employee_id) VALUES (NEW.email, NEW.id);
+    END IF;
+    RETURN NULL;
+END;
+$$ LANGUAGE plpgsql;
+
+CREATE TRIGGER employee_email_sync
+    AFTER INSERT OR UPDATE OF email, id OR DELETE ON employee
+    FOR EACH ROW EXECUTE FUNCTION employee_email_sync();
+
+INSERT INTO employee_email (email, employee_id)
+SELECT email, id FROM employee WHERE email IS NOT NULL;
+
+-- Not CONCURRENTLY: PostgreSQL cannot build a partitioned index concurrently,
+-- and the table was rebuilt above under an exclusive lock anyway. Each index
+-- exists once per partition, so an email lookup probes all 8 of them.
+CREATE INDEX ix_employee_email ON employee (email);
+CREATE INDEX ix_employee_department_role ON employee (department, role);
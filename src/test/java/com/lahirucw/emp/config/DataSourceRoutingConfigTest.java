@@ -0,0 +1,112 @@
+package com.lahirucw.emp.config;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.orm.jpa.JpaTransactionManager;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.AuthorityUtils;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import jakarta.persistence.EntityManager;
+
+/**
+ * Drives DataSourceRoutingConfig through the real JpaTransactionManager against
+ * two PostgreSQL databases, and checks which one each transaction talks to.
+ */
+@DataJpaTest(properties = {
+    "app.datasource.routing.enabled=true",
+    "app.datasource.routing.sticky-window=1m"
+})
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import(DataSourceRoutingConfig.class)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@Testcontainers(disabledWithoutDocker = true)
+public class DataSourceRoutingConfigTest {
+
+    @Container
+    static PostgreSQLContainer<?> primary = new PostgreSQLContainer<>("postgres:16-alpine").withDatabaseName("primarydb");
+
+    @Container
+    static PostgreSQLContainer<?> replica = new PostgreSQLContainer<>("postgres:16-alpine").withDatabaseName("replicadb");
+
+    @DynamicPropertySource
+    static void dataSources(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", primary::getJdbcUrl);
+        registry.add("spring.datasource.username", primary::getUsername);
+        registry.add("spring.datasource.password", primary::getPassword);
+        registry.add("app.datasource.replicas[0].url", replica::getJdbcUrl);
+        registry.add("app.datasource.replicas[0].username", replica::getUsername);
+        registry.add("app.datasource.replicas[0].password", replica::getPassword);
+    }
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void testReadOnlyTransactionUsesReplica() {
+        assertInstanceOf(JpaTransactionManager.class, transactionManager);
+        assertEquals("replicadb", currentDatabase(true, false));
+    }
+
+    @Test
+    void testReadWriteTransactionUsesPrimary() {
+        assertEquals("primarydb", currentDatabase(false, false));
+    }
+
+    @Test
+    void testClientReadsFromPrimaryAfterCommittedWrite() {
+        authenticate("admin");
+        assertEquals("primarydb", currentDatabase(false, false));
+        assertEquals("primarydb", currentDatabase(true, false));
+
+        authenticate("user");
+        assertEquals("replicadb", currentDatabase(true, false));
+    }
+
+    @Test
+    void testRolledBackWriteDoesNotPinClientToPrimary() {
+        authenticate("rolled-back");
+        assertEquals("primarydb", currentDatabase(false, true));
+        assertEquals("replicadb", currentDatabase(true, false));
+    }
+
+    private String currentDatabase(boolean readOnly, boolean rollback) {
+        TransactionTemplate template = new TransactionTemplate(transactionManager);
+        template.setReadOnly(readOnly);
+        return template.execute(status -> {
+            if (rollback) {
+                status.setRollbackOnly();
+            }
+            return (String) entityManager.createNativeQuery("select current_database()").getSingleResult();
+        });
+    }
+
+    private static void authenticate(String username) {
+        SecurityContextHolder.getContext().setAuthentication(new UsernamePasswordAuthenticationToken(
+                username, null, AuthorityUtils.createAuthorityList("ROLE_USER")));
+    }
+}
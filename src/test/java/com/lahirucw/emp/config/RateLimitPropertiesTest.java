@@ -0,0 +1,45 @@
+package com.lahirucw.emp.config;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.test.context.runner.ApplicationContextRunner;
+import org.springframework.context.annotation.Configuration;
+
+public class RateLimitPropertiesTest {
+
+    private final ApplicationContextRunner contextRunner = new ApplicationContextRunner()
+        .withUserConfiguration(PropertiesConfig.class);
+
+    @Test
+    void testAcceptsDefaults() {
+        contextRunner.run(context -> assertThat(context).hasNotFailed());
+    }
+
+    @Test
+    void testRejectsZeroRoleBurst() {
+        contextRunner.withPropertyValues("app.rate-limit.quotas.user.requests-per-second=5",
+                "app.rate-limit.quotas.user.burst=0")
+            .run(context -> assertThat(context).hasFailed());
+    }
+
+    @Test
+    void testRejectsZeroDefaultRate() {
+        contextRunner.withPropertyValues("app.rate-limit.default-quota.requests-per-second=0")
+            .run(context -> assertThat(context).hasFailed());
+    }
+
+    @Test
+    void testRejectsZeroConcurrencyAndClientCaps() {
+        contextRunner.withPropertyValues("app.rate-limit.max-concurrent-requests=0")
+            .run(context -> assertThat(context).hasFailed());
+        contextRunner.withPropertyValues("app.rate-limit.max-tracked-clients=0")
+            .run(context -> assertThat(context).hasFailed());
+    }
+
+    @Configuration
+    @EnableConfigurationProperties(RateLimitProperties.class)
+    static class PropertiesConfig {
+    }
+}
@@ -0,0 +1,166 @@
+package com.lahirucw.emp.config;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLTransientConnectionException;
+import java.time.Duration;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+
+import javax.sql.DataSource;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.AuthorityUtils;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionSynchronizationUtils;
+
+import com.zaxxer.hikari.HikariDataSource;
+
+public class ReplicationRoutingDataSourceTest {
+
+    private DataSource primary;
+    private DataSource replica1;
+    private DataSource replica2;
+    private ReplicationRoutingDataSource routingDataSource;
+    private final Set<String> unreachable = new HashSet<>();
+
+    @BeforeEach
+    void setUp() {
+        primary = mock(DataSource.class);
+        replica1 = mock(DataSource.class);
+        replica2 = mock(DataSource.class);
+
+        Map<String, DataSource> replicas = new LinkedHashMap<>();
+        replicas.put("replica-0", replica1);
+        replicas.put("replica-1", replica2);
+
+        routingDataSource = new ReplicationRoutingDataSource(primary, replicas, Duration.ofMinutes(1),
+                (key, timeoutSeconds) -> !unreachable.contains(key));
+        routingDataSource.afterPropertiesSet();
+    }
+
+    @AfterEach
+    void tearDown() {
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(false);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void testWritesGoToPrimary() {
+        assertEquals(ReplicationRoutingDataSource.PRIMARY, routingDataSource.determineCurrentLookupKey());
+    }
+
+    @Test
+    void testReadsRoundRobinAcrossReplicas() {
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+
+        assertEquals("replica-0", routingDataSource.determineCurrentLookupKey());
+        assertEquals("replica-1", routingDataSource.determineCurrentLookupKey());
+        assertEquals("replica-0", routingDataSource.determineCurrentLookupKey());
+    }
+
+    @Test
+    void testReadsStickToPrimaryAfterClientWrites() {
+        SecurityContextHolder.getContext().setAuthentication(new UsernamePasswordAuthenticationToken(
+                "admin", null, AuthorityUtils.createAuthorityList("ROLE_ADMIN")));
+        TransactionSynchronizationManager.initSynchronization();
+        routingDataSource.determineCurrentLookupKey();
+
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+        assertEquals("replica-0", routingDataSource.determineCurrentLookupKey());
+
+        TransactionSynchronizationUtils.invokeAfterCommit(TransactionSynchronizationManager.getSynchronizations());
+        TransactionSynchronizationManager.clearSynchronization();
+        assertEquals(ReplicationRoutingDataSource.PRIMARY, routingDataSource.determineCurrentLookupKey());
+
+        SecurityContextHolder.getContext().setAuthentication(new UsernamePasswordAuthenticationToken(
+                "user", null, AuthorityUtils.createAuthorityList("ROLE_USER")));
+        assertEquals("replica-1", routingDataSource.determineCurrentLookupKey());
+    }
+
+    @Test
+    void testRolledBackWriteDoesNotStick() {
+        SecurityContextHolder.getContext().setAuthentication(new UsernamePasswordAuthenticationToken(
+                "admin", null, AuthorityUtils.createAuthorityList("ROLE_ADMIN")));
+        TransactionSynchronizationManager.initSynchronization();
+        routingDataSource.determineCurrentLookupKey();
+        TransactionSynchronizationManager.clearSynchronization();
+
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+        assertEquals("replica-0", routingDataSource.determineCurrentLookupKey());
+    }
+
+    @Test
+    void testUnhealthyReplicaIsSkippedUntilRecovered() throws SQLException {
+        unreachable.add("replica-0");
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+
+        routingDataSource.checkReplicas(1);
+        assertFalse(routingDataSource.isHealthy("replica-0"));
+        assertEquals("replica-1", routingDataSource.determineCurrentLookupKey());
+        assertEquals("replica-1", routingDataSource.determineCurrentLookupKey());
+
+        unreachable.clear();
+        routingDataSource.checkReplicas(1);
+        assertTrue(routingDataSource.isHealthy("replica-0"));
+        verify(replica1, never()).getConnection();
+    }
+
+    @Test
+    void testFailsOverToPrimaryWhenReplicaIsUnreachable() throws SQLException {
+        Connection primaryConnection = mock(Connection.class);
+        when(replica1.getConnection()).thenThrow(new SQLTransientConnectionException(
+                "replica-0 - Connection is not available", "08001", new SQLException("Connection refused", "08001")));
+        when(primary.getConnection()).thenReturn(primaryConnection);
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+
+        assertSame(primaryConnection, routingDataSource.getConnection());
+        assertFalse(routingDataSource.isHealthy("replica-0"));
+    }
+
+    @Test
+    void testPoolTimeoutDoesNotMarkReplicaUnhealthy() throws SQLException {
+        SQLTransientConnectionException poolTimeout = new SQLTransientConnectionException(
+                "replica-0 - Connection is not available, request timed out after 2000ms.");
+        when(replica1.getConnection()).thenThrow(poolTimeout);
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+
+        assertSame(poolTimeout, assertThrows(SQLException.class, routingDataSource::getConnection));
+        assertTrue(routingDataSource.isHealthy("replica-0"));
+        verify(primary, never()).getConnection();
+    }
+
+    @Test
+    void testDestroyClosesReplicaPoolsOnly() throws Exception {
+        HikariDataSource primaryPool = mock(HikariDataSource.class);
+        HikariDataSource replicaPool = mock(HikariDataSource.class);
+        ReplicationRoutingDataSource dataSource = new ReplicationRoutingDataSource(
+                primaryPool, Map.of("replica-0", replicaPool), Duration.ofMinutes(1), (key, timeoutSeconds) -> true);
+        dataSource.afterPropertiesSet();
+
+        dataSource.destroy();
+
+        verify(replicaPool, times(1)).close();
+        verify(primaryPool, never()).close();
+    }
+}
@@ -13,6 +13,7 @@ import org.springframework.test.web.servlet.MockMvc;
 
 import java.util.Arrays;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 import static org.mockito.ArgumentMatchers.any;
@@ -24,7 +25,9 @@ import com.lahirucw.emp.dto.CreateEmployeeDTO;
 import com.lahirucw.emp.dto.EmployeeDTO;
 import com.lahirucw.emp.dto.UpdateEmployeeDTO;
 import com.lahirucw.emp.model.Employee;
+import com.lahirucw.emp.service.DuplicateEmailException;
 import com.lahirucw.emp.service.EmployeeService;
+import com.lahirucw.emp.service.EmployeeStatsService;
 
 @WebMvcTest(EmployeeController.class)
 public class EmployeeControllerTest {
@@ -35,6 +38,9 @@ public class EmployeeControllerTest {
     @MockBean
     private EmployeeService employeeService;
 
+    @MockBean
+    private EmployeeStatsService employeeStatsService;
+
     @Autowired
     private ObjectMapper objectMapper;
 
@@ -111,6 +117,47 @@ public class EmployeeControllerTest {
         verify(employeeService, times(1)).getAllEmployees();
     }
 
+    @Test
+    @WithMockUser(roles = {"USER"})
+    void testGetCountsByDepartment() throws Exception {
+        when(employeeStatsService.getCountsByDepartment()).thenReturn(Map.of("Engineering", 3L, "Sales", 2L));
+
+        mockMvc.perform(get("/api/employees/stats/departments"))
+               .andExpect(status().isOk())
+               .andExpect(jsonPath("$.Engineering").value(3))
+               .andExpect(jsonPath("$.Sales").value(2));
+
+        verify(employeeStatsService, times(1)).getCountsByDepartment();
+        verify(employeeService, never()).getAllEmployees();
+    }
+
+    @Test
+    @WithMockUser(roles = {"USER"})
+    void testGetCountsByRole() throws Exception {
+        when(employeeStatsService.getCountsByRole()).thenReturn(Map.of("Senior Developer", 3L, "Sales Representative", 2L));
+
+        mockMvc.perform(get("/api/employees/stats/roles"))
+               .andExpect(status().isOk())
+               .andExpect(jsonPath("$['Senior Developer']").value(3))
+               .andExpect(jsonPath("$['Sales Representative']").value(2));
+
+        verify(employeeStatsService, times(1)).getCountsByRole();
+        verify(employeeService, never()).getAllEmployees();
+    }
+
+    @Test
+    @WithMockUser(roles = {"USER"})
+    void testGetCountsByDepartmentAndRole() throws Exception {
+        when(employeeStatsService.getCountsByDepartmentAndRole())
+            .thenReturn(Map.of("Engineering", Map.of("Senior Developer", 3L)));
+
+        mockMvc.perform(get("/api/employees/stats/departments/roles"))
+               .andExpect(status().isOk())
+               .andExpect(jsonPath("$.Engineering['Senior Developer']").value(3));
+
+        verify(employeeStatsService, times(1)).getCountsByDepartmentAndRole();
+    }
+
     @Test
     @WithMockUser(roles = {"USER"})
     void testGetEmployeeById_Found() throws Exception {
@@ -163,12 +210,23 @@ public class EmployeeControllerTest {
         verify(employeeService, times(1)).createEmployee(any(Employee.class));
     }
 
+    @Test
+    @WithMockUser(roles = {"ADMIN"})
+    void testCreateEmployee_DuplicateEmail() throws Exception {
+        when(employeeService.createEmployee(any(Employee.class)))
+            .thenThrow(new DuplicateEmailException("peter.jones@example.com"));
+
+        mockMvc.perform(post("/api/employees")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(createEmployeeDTO)))
+               .andExpect(status().isConflict());
+    }
+
     @Test
     @WithMockUser(roles = {"ADMIN"}) 
     void testUpdateEmployee_Found() throws Exception {
 
         Long employeeId = 1L;
-        Employee existingEmployee = employee1;
         Employee updatedEmployeeEntity = new Employee(
             employeeId, 
             "John", 
@@ -180,8 +238,8 @@ public class EmployeeControllerTest {
 
         //EmployeeDTO expectedDTO = EmployeeMapper.toDTO(updatedEmployeeEntity);
 
-        when(employeeService.getEmployeeById(employeeId)).thenReturn(Optional.of(existingEmployee));
-        when(employeeService.updateEmployee(eq(employeeId), any(Employee.class))).thenReturn(updatedEmployeeEntity);
+        when(employeeService.updateEmployee(eq(employeeId), any(UpdateEmployeeDTO.class)))
+            .thenReturn(Optional.of(updatedEmployeeEntity));
 
         mockMvc.perform(put("/api/employees/{id}", employeeId)
                 .contentType(MediaType.APPLICATION_JSON)
@@ -191,23 +249,23 @@ public class EmployeeControllerTest {
                .andExpect(jsonPath("$.id").value(employeeId))
                .andExpect(jsonPath("$.position").value("Senior Manager"));
 
-        verify(employeeService, times(1)).getEmployeeById(employeeId);
-        verify(employeeService, times(1)).updateEmployee(eq(employeeId), any(Employee.class));
+        // Load and save happen in one write transaction inside the service, never via a replica read.
+        verify(employeeService, never()).getEmployeeById(anyLong());
+        verify(employeeService, times(1)).updateEmployee(eq(employeeId), any(UpdateEmployeeDTO.class));
     }
 
     @Test
     @WithMockUser(roles = {"ADMIN"}) 
     void testUpdateEmployee_NotFound() throws Exception {
         Long employeeId = 3L;
-        when(employeeService.getEmployeeById(employeeId)).thenReturn(Optional.empty());
+        when(employeeService.updateEmployee(eq(employeeId), any(UpdateEmployeeDTO.class))).thenReturn(Optional.empty());
 
         mockMvc.perform(put("/api/employees/{id}", employeeId)
                 .contentType(MediaType.APPLICATION_JSON)
                 .content(objectMapper.writeValueAsString(updateEmployeeDTO)))
                .andExpect(status().isNotFound());
 
-        verify(employeeService, times(1)).getEmployeeById(employeeId);
-        verify(employeeService, never()).updateEmployee(anyLong(), any(Employee.class));
+        verify(employeeService, times(1)).updateEmployee(eq(employeeId), any(UpdateEmployeeDTO.class));
     }
 
 
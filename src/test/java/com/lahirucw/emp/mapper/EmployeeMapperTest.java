@@ -0,0 +1,35 @@
+package com.lahirucw.emp.mapper;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+import org.junit.jupiter.api.Test;
+
+import com.lahirucw.emp.dto.CreateEmployeeDTO;
+import com.lahirucw.emp.model.Employee;
+
+public class EmployeeMapperTest {
+
+    @Test
+    void testToEntityCopiesAllFields() {
+        CreateEmployeeDTO dto = new CreateEmployeeDTO(
+            "John",
+            "Doe",
+            "Senior Developer",
+            "john.doe@example.com",
+            "Engineering");
+
+        Employee employee = EmployeeMapper.toEntity(dto);
+
+        assertEquals("John", employee.getFirstName());
+        assertEquals("Doe", employee.getLastName());
+        assertEquals("Senior Developer", employee.getRole());
+        assertEquals("john.doe@example.com", employee.getEmail());
+        assertEquals("Engineering", employee.getDepartment());
+    }
+
+    @Test
+    void testToEntityReturnsNullForNull() {
+        assertNull(EmployeeMapper.toEntity(null));
+    }
+}
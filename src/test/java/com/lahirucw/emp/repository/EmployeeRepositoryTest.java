@@ -0,0 +1,230 @@
+package com.lahirucw.emp.repository;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import org.flywaydb.core.Flyway;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.boot.testcontainers.service.connection.ServiceConnection;
+import org.springframework.context.annotation.Bean;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import com.lahirucw.emp.model.Employee;
+
+/**
+ * Runs the Flyway migrations against a real PostgreSQL and checks with EXPLAIN
+ * that the SQL Hibernate generates for EmployeeRepository queries is served by
+ * the indexes. Statements are captured with a StatementInspector. Sequential
+ * scans are disabled so the small test table does not hide a missing index.
+ */
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Testcontainers(disabledWithoutDocker = true)
+public class EmployeeRepositoryTest {
+
+    @Container
+    @ServiceConnection
+    static PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>("postgres:16-alpine");
+
+    private static final List<String> capturedStatements = new CopyOnWriteArrayList<>();
+
+    @Autowired
+    private EmployeeRepository employeeRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    void setUp() {
+        employeeRepository.saveAndFlush(new Employee(0L, "John", "Doe", "john.doe@example.com", "Engineering", "Senior Developer"));
+        employeeRepository.saveAndFlush(new Employee(0L, "Jane", "Smith", "jane.smith@example.com", "Sales", "Sales Representative"));
+        jdbcTemplate.execute("ANALYZE employee");
+        jdbcTemplate.execute("SET LOCAL enable_seqscan = off");
+    }
+
+    @Test
+    void testExistsByEmail() {
+        assertTrue(employeeRepository.existsByEmail("john.doe@example.com"));
+        assertFalse(employeeRepository.existsByEmail("nobody@example.com"));
+    }
+
+    @Test
+    void testDuplicateEmailRejectedByUniqueIndex() {
+        assertThrows(DataIntegrityViolationException.class, () -> employeeRepository.saveAndFlush(
+            new Employee(0L, "Johnny", "Doe", "john.doe@example.com", "Engineering", "Manager")));
+    }
+
+    @Test
+    void testExistsByEmailUsesUniqueIndex() {
+        String sql = captureQuery(() -> employeeRepository.existsByEmail("john.doe@example.com"));
+        assertPlanUses(sql, "ux_employee_email");
+    }
+
+    @Test
+    void testExistsByEmailAndIdNotUsesUniqueIndex() {
+        String sql = captureQuery(() -> employeeRepository.existsByEmailAndIdNot("john.doe@example.com", 1L));
+        assertPlanUses(sql, "ux_employee_email");
+    }
+
+    @Test
+    void testFindByIdForUpdateLocksRow() {
+        Long id = employeeRepository.findAll().get(0).getId();
+        String sql = captureQuery(() -> employeeRepository.findByIdForUpdate(id));
+        assertTrue(sql.toLowerCase().matches("(?s).* for (no key )?update.*"), () -> "Expected a row lock in " + sql);
+        assertPlanUses(sql, "employee_pkey");
+    }
+
+    @Test
+    void testCountByDepartmentAndRoleUsesDepartmentRoleIndex() {
+        String sql = captureQuery(() -> employeeRepository.countByDepartmentAndRole());
+        assertPlanUses(sql, "ix_employee_department_role");
+    }
+
+    @Test
+    void testPartitioningMigrationKeepsRowsAndEmailUniqueness() throws SQLException {
+        try (Connection admin = postgres.createConnection("");
+                Statement statement = admin.createStatement()) {
+            statement.execute("CREATE DATABASE partitioned");
+        }
+        String url = "jdbc:postgresql://" + postgres.getHost() + ":" + postgres.getMappedPort(5432) + "/partitioned";
+
+        migrate(url, "2", "classpath:db/migration");
+        try (Connection connection = DriverManager.getConnection(url, postgres.getUsername(), postgres.getPassword());
+                Statement statement = connection.createStatement()) {
+            statement.execute("INSERT INTO employee (first_name, email, department, role) VALUES "
+                + "('John', 'john.doe@example.com', 'Engineering', 'Senior Developer'), "
+                + "('Jane', 'jane.smith@example.com', 'Sales', 'Sales Representative')");
+        }
+
+        migrate(url, "latest", "classpath:db/migration", "classpath:db/partitioning");
+        try (Connection connection = DriverManager.getConnection(url, postgres.getUsername(), postgres.getPassword());
+                Statement statement = connection.createStatement()) {
+            assertEquals("p", queryString(statement, "SELECT relkind FROM pg_class WHERE relname = 'employee'"));
+            assertEquals("2", queryString(statement, "SELECT COUNT(*) FROM employee"));
+            assertEquals("3", queryString(statement,
+                "INSERT INTO employee (first_name, email) VALUES ('Peter', 'peter.jones@example.com') RETURNING id"));
+
+            SQLException duplicate = assertThrows(SQLException.class, () -> statement.execute(
+                "INSERT INTO employee (first_name, email) VALUES ('Johnny', 'john.doe@example.com')"));
+            assertTrue(duplicate.getMessage().contains("ux_employee_email"));
+
+            statement.execute("UPDATE employee SET email = 'johnny@example.com' WHERE email = 'john.doe@example.com'");
+            statement.execute("INSERT INTO employee (first_name, email) VALUES ('Johnny', 'john.doe@example.com')");
+        }
+
+        // On this layout the duplicate check cannot prune partitions, so every
+        // partition must answer it from its email index.
+        String sql = captureQuery(() -> employeeRepository.existsByEmail("john.doe@example.com"));
+        try (Connection connection = DriverManager.getConnection(url, postgres.getUsername(), postgres.getPassword());
+                Statement statement = connection.createStatement()) {
+            statement.execute("ANALYZE employee");
+            statement.execute("SET enable_seqscan = off");
+            List<String> plan = explain(statement, sql);
+            for (int partition = 0; partition < 8; partition++) {
+                String index = "employee_p" + partition + "_email_idx";
+                assertTrue(plan.stream().anyMatch(line -> line.contains(index)),
+                    () -> "Expected " + index + " in plan for " + sql + ":\n" + String.join("\n", plan));
+            }
+        }
+    }
+
+    private static void migrate(String url, String target, String... locations) {
+        Flyway.configure()
+            .dataSource(url, postgres.getUsername(), postgres.getPassword())
+            .locations(locations)
+            .target(target)
+            .configuration(Map.of("flyway.postgresql.transactional.lock", "false"))
+            .load()
+            .migrate();
+    }
+
+    private static List<String> explain(Statement statement, String sql) throws SQLException {
+        List<String> plan = new ArrayList<>();
+        try (ResultSet resultSet = statement.executeQuery("EXPLAIN (GENERIC_PLAN) " + parameterize(sql))) {
+            while (resultSet.next()) {
+                plan.add(resultSet.getString(1));
+            }
+        }
+        return plan;
+    }
+
+    private static String queryString(Statement statement, String sql) throws SQLException {
+        try (ResultSet resultSet = statement.executeQuery(sql)) {
+            resultSet.next();
+            return resultSet.getString(1);
+        }
+    }
+
+    /** Runs the repository call and returns the single SQL query Hibernate issued for it. */
+    private String captureQuery(Runnable repositoryCall) {
+        capturedStatements.clear();
+        repositoryCall.run();
+        List<String> queries = capturedStatements.stream()
+            .filter(sql -> sql.stripLeading().toLowerCase().startsWith("select"))
+            .toList();
+        assertEquals(1, queries.size(), () -> "Expected one query, got " + queries);
+        return queries.get(0);
+    }
+
+    /**
+     * EXPLAINs the statement exactly as Hibernate sent it. Its JDBC placeholders
+     * become $n parameters and GENERIC_PLAN plans them without bound values, as a
+     * prepared statement is planned.
+     */
+    private void assertPlanUses(String sql, String indexName) {
+        List<String> plan = jdbcTemplate.queryForList("EXPLAIN (GENERIC_PLAN) " + parameterize(sql), String.class);
+        assertTrue(plan.stream().anyMatch(line -> line.contains(indexName)),
+            () -> "Expected " + indexName + " in plan for " + sql + ":\n" + String.join("\n", plan));
+    }
+
+    private static String parameterize(String sql) {
+        StringBuilder parameterized = new StringBuilder();
+        int parameter = 0;
+        for (char c : sql.toCharArray()) {
+            if (c == '?') {
+                parameterized.append('$').append(++parameter);
+            } else {
+                parameterized.append(c);
+            }
+        }
+        return parameterized.toString();
+    }
+
+    @TestConfiguration
+    static class StatementCaptureConfig {
+
+        @Bean
+        HibernatePropertiesCustomizer statementCapture() {
+            return properties -> properties.put(AvailableSettings.STATEMENT_INSPECTOR,
+                (StatementInspector) sql -> {
+                    capturedStatements.add(sql);
+                    return sql;
+                });
+        }
+    }
+}
@@ -0,0 +1,112 @@
+package com.lahirucw.emp.security;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Test;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.AuthorityUtils;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import com.lahirucw.emp.config.RateLimitProperties;
+import com.lahirucw.emp.config.RateLimitProperties.Quota;
+
+import jakarta.servlet.FilterChain;
+
+/**
+ * Per-request overhead of the rate limiter: a bare token acquire, and the whole
+ * of {@code doFilterInternal} for an authenticated request with a no-op chain,
+ * single-threaded and with all threads hitting the same client. Quotas and the
+ * concurrency cap are large enough that every request is admitted. The GC
+ * profiler reports bytes allocated per request ({@code gc.alloc.rate.norm}).
+ *
+ * Not part of the regular test run; start it with
+ * {@code mvn test -Dtest=RateLimitFilterBenchmark}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class RateLimitFilterBenchmark {
+
+    private static final FilterChain NO_OP_CHAIN = (request, response) -> { };
+
+    private RateLimitFilter filter;
+    private TokenBucket bucket;
+
+    @Setup
+    public void setUp() {
+        RateLimitProperties properties = new RateLimitProperties();
+        properties.setQuotas(Map.of("user", new Quota(1_000_000_000, Integer.MAX_VALUE)));
+        properties.setMaxConcurrentRequests(Integer.MAX_VALUE);
+        filter = new RateLimitFilter(properties);
+        bucket = new TokenBucket(1_000_000_000, Integer.MAX_VALUE, System.nanoTime());
+    }
+
+    /** A request built once per benchmark thread, with the thread's security context set. */
+    @State(Scope.Thread)
+    public static class Caller {
+
+        MockHttpServletRequest request;
+        MockHttpServletResponse response;
+
+        @Setup
+        public void authenticate() {
+            SecurityContextHolder.getContext().setAuthentication(new UsernamePasswordAuthenticationToken(
+                    "jane", null, AuthorityUtils.createAuthorityList("ROLE_USER")));
+            request = new MockHttpServletRequest("GET", "/api/employees");
+            response = new MockHttpServletResponse();
+        }
+
+        @TearDown
+        public void clear() {
+            SecurityContextHolder.clearContext();
+        }
+    }
+
+    @Benchmark
+    public boolean tryAcquire() {
+        return bucket.tryAcquire(System.nanoTime());
+    }
+
+    @Benchmark
+    public int doFilterInternal(Caller caller) throws Exception {
+        filter.doFilterInternal(caller.request, caller.response, NO_OP_CHAIN);
+        return caller.response.getStatus();
+    }
+
+    @Benchmark
+    @Threads(4)
+    public int doFilterInternalContended(Caller caller) throws Exception {
+        filter.doFilterInternal(caller.request, caller.response, NO_OP_CHAIN);
+        return caller.response.getStatus();
+    }
+
+    @Test
+    void runBenchmarks() throws RunnerException {
+        new Runner(new OptionsBuilder()
+            .include(RateLimitFilterBenchmark.class.getName())
+            .addProfiler(GCProfiler.class)
+            .build()).run();
+    }
+}
@@ -0,0 +1,207 @@
+package com.lahirucw.emp.security;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+
+import java.util.Map;
+import java.util.Set;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.AuthorityUtils;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import com.lahirucw.emp.config.RateLimitProperties;
+import com.lahirucw.emp.config.RateLimitProperties.Quota;
+
+import jakarta.servlet.http.HttpServlet;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+public class RateLimitFilterTest {
+
+    private RateLimitProperties properties;
+
+    @BeforeEach
+    void setUp() {
+        properties = new RateLimitProperties();
+        properties.setDefaultQuota(new Quota(0.001, 1));
+        properties.setQuotas(Map.of(
+            "user", new Quota(0.001, 2),
+            "admin", new Quota(0.001, 4)
+        ));
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void testAppliesQuotaByRole() throws Exception {
+        RateLimitFilter filter = new RateLimitFilter(properties);
+
+        authenticate("jane", "ROLE_USER");
+        assertEquals(2, countAccepted(filter, 5));
+
+        authenticate("root", "ROLE_ADMIN");
+        assertEquals(4, countAccepted(filter, 5));
+    }
+
+    @Test
+    void testKeysAnonymousClientsByApiKey() throws Exception {
+        properties.setApiKeys(Set.of("key-a", "key-b"));
+        RateLimitFilter filter = new RateLimitFilter(properties);
+
+        assertEquals(200, perform(filter, "key-a").getStatus());
+        MockHttpServletResponse rejected = perform(filter, "key-a");
+        assertEquals(429, rejected.getStatus());
+        assertNotNull(rejected.getHeader(HttpHeaders.RETRY_AFTER));
+        assertEquals(200, perform(filter, "key-b").getStatus());
+    }
+
+    @Test
+    void testUnknownApiKeysShareRemoteAddressBucket() throws Exception {
+        properties.setApiKeys(Set.of("key-a"));
+        RateLimitFilter filter = new RateLimitFilter(properties);
+
+        assertEquals(200, perform(filter, "forged-1").getStatus());
+        assertEquals(429, perform(filter, "forged-2").getStatus());
+        assertEquals(429, perform(filter, null).getStatus());
+    }
+
+    @Test
+    void testShedsNewClientsWhenTrackedClientCapReached() throws Exception {
+        properties.setApiKeys(Set.of("key-a", "key-b", "key-c"));
+        properties.setMaxTrackedClients(2);
+        RateLimitFilter filter = new RateLimitFilter(properties);
+
+        assertEquals(200, perform(filter, "key-a").getStatus());
+        assertEquals(200, perform(filter, "key-b").getStatus());
+        assertEquals(503, perform(filter, "key-c").getStatus());
+        assertEquals(429, perform(filter, "key-a").getStatus());
+    }
+
+    @Test
+    void testShedsLoadWhenConcurrencyLimitReached() throws Exception {
+        properties.setMaxConcurrentRequests(1);
+        RateLimitFilter filter = new RateLimitFilter(properties);
+        authenticate("root", "ROLE_ADMIN");
+
+        MockHttpServletResponse[] nested = new MockHttpServletResponse[1];
+        HttpServlet servlet = new HttpServlet() {
+            @Override
+            protected void service(HttpServletRequest req, HttpServletResponse resp) {
+                try {
+                    nested[0] = perform(filter, null);
+                } catch (Exception ex) {
+                    throw new IllegalStateException(ex);
+                }
+            }
+        };
+        MockHttpServletResponse outer = new MockHttpServletResponse();
+        filter.doFilter(request(null), outer, new MockFilterChain(servlet));
+
+        assertEquals(200, outer.getStatus());
+        assertEquals(503, nested[0].getStatus());
+    }
+
+    @Test
+    void testShedRequestDoesNotSpendToken() throws Exception {
+        properties.setMaxConcurrentRequests(1);
+        RateLimitFilter filter = new RateLimitFilter(properties);
+
+        MockHttpServletResponse[] nested = new MockHttpServletResponse[1];
+        HttpServlet servlet = new HttpServlet() {
+            @Override
+            protected void service(HttpServletRequest req, HttpServletResponse resp) {
+                try {
+                    authenticate("jane", "ROLE_USER");
+                    nested[0] = perform(filter, null);
+                } catch (Exception ex) {
+                    throw new IllegalStateException(ex);
+                }
+            }
+        };
+        authenticate("root", "ROLE_ADMIN");
+        filter.doFilter(request(null), new MockHttpServletResponse(), new MockFilterChain(servlet));
+        assertEquals(503, nested[0].getStatus());
+
+        authenticate("jane", "ROLE_USER");
+        assertEquals(2, countAccepted(filter, 5));
+    }
+
+    @Test
+    void testIgnoresNonApiPaths() throws Exception {
+        RateLimitFilter filter = new RateLimitFilter(properties);
+        for (int i = 0; i < 5; i++) {
+            MockHttpServletRequest request = new MockHttpServletRequest("GET", "/swagger-ui/index.html");
+            MockHttpServletResponse response = new MockHttpServletResponse();
+            filter.doFilter(request, response, new MockFilterChain());
+            assertEquals(200, response.getStatus());
+        }
+    }
+
+    @Test
+    void testAppliesToApiPathsUnderContextPath() throws Exception {
+        RateLimitFilter filter = new RateLimitFilter(properties);
+        int accepted = 0;
+        for (int i = 0; i < 5; i++) {
+            MockHttpServletRequest request = new MockHttpServletRequest("GET", "/emp/api/employees");
+            request.setContextPath("/emp");
+            MockHttpServletResponse response = new MockHttpServletResponse();
+            filter.doFilter(request, response, new MockFilterChain());
+            if (response.getStatus() == 200) {
+                accepted++;
+            }
+        }
+        assertEquals(1, accepted);
+    }
+
+    @Test
+    void testIgnoresNonApiPathsUnderContextPath() throws Exception {
+        RateLimitFilter filter = new RateLimitFilter(properties);
+        for (int i = 0; i < 5; i++) {
+            MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/swagger-ui/index.html");
+            request.setContextPath("/api");
+            MockHttpServletResponse response = new MockHttpServletResponse();
+            filter.doFilter(request, response, new MockFilterChain());
+            assertEquals(200, response.getStatus());
+        }
+    }
+
+    private int countAccepted(RateLimitFilter filter, int attempts) throws Exception {
+        int accepted = 0;
+        for (int i = 0; i < attempts; i++) {
+            if (perform(filter, null).getStatus() == 200) {
+                accepted++;
+            }
+        }
+        return accepted;
+    }
+
+    private static MockHttpServletResponse perform(RateLimitFilter filter, String apiKey) throws Exception {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        filter.doFilter(request(apiKey), response, new MockFilterChain());
+        return response;
+    }
+
+    private static MockHttpServletRequest request(String apiKey) {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/employees");
+        if (apiKey != null) {
+            request.addHeader("X-API-Key", apiKey);
+        }
+        return request;
+    }
+
+    private static void authenticate(String name, String role) {
+        SecurityContextHolder.getContext().setAuthentication(new UsernamePasswordAuthenticationToken(
+                name, null, AuthorityUtils.createAuthorityList(role)));
+    }
+}
@@ -3,12 +3,17 @@ package com.lahirucw.emp.service;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.AdditionalAnswers.returnsFirstArg;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
+import java.sql.SQLException;
 import java.util.Arrays;
 import java.util.List;
 import java.util.Optional;
@@ -19,7 +24,10 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.hibernate.exception.ConstraintViolationException;
+import org.springframework.dao.DataIntegrityViolationException;
 
+import com.lahirucw.emp.dto.UpdateEmployeeDTO;
 import com.lahirucw.emp.model.Employee;
 import com.lahirucw.emp.repository.EmployeeRepository;
 
@@ -29,6 +37,9 @@ public class EmployeeServiceTest {
     @Mock
     private EmployeeRepository employeeRepository;
 
+    @Mock
+    private EmployeeStatsService employeeStatsService;
+
     @InjectMocks
     private EmployeeService employeeService;
 
@@ -115,33 +126,105 @@ public class EmployeeServiceTest {
         assertEquals("Peter", result.getFirstName());
         assertEquals("Sales", result.getDepartment());
         verify(employeeRepository, times(1)).save(any(Employee.class));
+        verify(employeeStatsService, times(1)).recordCreated("Sales", "Manager");
     }
 
     @Test
     void testUpdateEmployee() {
-        Employee updatedEmployeeData = new Employee(
-            1L, 
-            "John", 
-            "Doe Updated", 
-            "john.doe.updated@example.com", 
-            "Engineering", 
-            "Junior Developer");
-        when(employeeRepository.save(updatedEmployeeData)).thenReturn(updatedEmployeeData);
+        UpdateEmployeeDTO updateEmployeeDTO = new UpdateEmployeeDTO(
+            "Junior Developer",
+            "john.doe.updated@example.com");
+        when(employeeRepository.findByIdForUpdate(1L)).thenReturn(Optional.of(employee1));
+        when(employeeRepository.save(employee1)).thenAnswer(returnsFirstArg());
 
-        Employee result = employeeService.updateEmployee(1L, updatedEmployeeData);
+        Optional<Employee> result = employeeService.updateEmployee(1L, updateEmployeeDTO);
 
-        assertNotNull(result);
-        assertEquals(1L, result.getId());
-        assertEquals("John", result.getFirstName());
-        assertEquals("Doe Updated", result.getLastName());
-        assertEquals("Junior Developer", result.getRole());
-        assertEquals("Engineering", result.getDepartment());
-        verify(employeeRepository, times(1)).save(updatedEmployeeData);
+        assertTrue(result.isPresent());
+        assertEquals(1L, result.get().getId());
+        assertEquals("John", result.get().getFirstName());
+        assertEquals("Doe", result.get().getLastName());
+        assertEquals("Engineering", result.get().getDepartment());
+        assertEquals("Junior Developer", result.get().getRole());
+        assertEquals("john.doe.updated@example.com", result.get().getEmail());
+        verify(employeeRepository, times(1)).findByIdForUpdate(1L);
+        verify(employeeRepository, never()).findById(any());
+        verify(employeeRepository, times(1)).save(employee1);
+    }
+
+    @Test
+    void testUpdateEmployee_NotFound() {
+        when(employeeRepository.findByIdForUpdate(3L)).thenReturn(Optional.empty());
+
+        Optional<Employee> result = employeeService.updateEmployee(3L, new UpdateEmployeeDTO("Manager", null));
+
+        assertFalse(result.isPresent());
+        verify(employeeRepository, never()).save(any(Employee.class));
+    }
+
+    @Test
+    void testCreateEmployee_DuplicateEmail() {
+        Employee newEmployee = new Employee();
+        newEmployee.setEmail("john.doe@example.com");
+        when(employeeRepository.existsByEmail("john.doe@example.com")).thenReturn(true);
+
+        assertThrows(DuplicateEmailException.class, () -> employeeService.createEmployee(newEmployee));
+
+        verify(employeeRepository, never()).save(any(Employee.class));
+    }
+
+    @Test
+    void testCreateEmployee_ConcurrentDuplicateEmail() {
+        Employee newEmployee = new Employee();
+        newEmployee.setEmail("john.doe@example.com");
+        when(employeeRepository.save(newEmployee)).thenReturn(newEmployee);
+        doThrow(new DataIntegrityViolationException("duplicate key",
+                new ConstraintViolationException("duplicate key", new SQLException(), "ux_employee_email")))
+            .when(employeeRepository).flush();
+
+        assertThrows(DuplicateEmailException.class, () -> employeeService.createEmployee(newEmployee));
+
+        verify(employeeStatsService, never()).recordCreated(any(), any());
+    }
+
+    @Test
+    void testCreateEmployee_OtherConstraintViolationPropagates() {
+        Employee newEmployee = new Employee();
+        when(employeeRepository.save(newEmployee)).thenReturn(newEmployee);
+        doThrow(new DataIntegrityViolationException("not null",
+                new ConstraintViolationException("not null", new SQLException(), "employee_pkey")))
+            .when(employeeRepository).flush();
+
+        assertThrows(DataIntegrityViolationException.class, () -> employeeService.createEmployee(newEmployee));
+    }
+
+    @Test
+    void testUpdateEmployee_DuplicateEmail() {
+        UpdateEmployeeDTO updateEmployeeDTO = new UpdateEmployeeDTO(null, "john.doe@example.com");
+        when(employeeRepository.existsByEmailAndIdNot("john.doe@example.com", 2L)).thenReturn(true);
+
+        assertThrows(DuplicateEmailException.class, () -> employeeService.updateEmployee(2L, updateEmployeeDTO));
+
+        verify(employeeRepository, never()).save(any(Employee.class));
+    }
+
+    @Test
+    void testUpdateEmployee_RecordsRoleChange() {
+        when(employeeRepository.findByIdForUpdate(1L)).thenReturn(Optional.of(employee1));
+        when(employeeRepository.save(employee1)).thenAnswer(returnsFirstArg());
+
+        employeeService.updateEmployee(1L, new UpdateEmployeeDTO("Engineering Manager", null));
+
+        verify(employeeStatsService, times(1))
+            .recordUpdated("Engineering", "Senior Developer", "Engineering", "Engineering Manager");
     }
 
     @Test
     void testDeleteEmployee() {
+        when(employeeRepository.findByIdForUpdate(1L)).thenReturn(Optional.of(employee1));
+
         employeeService.deleteEmployee(1L);
+
         verify(employeeRepository, times(1)).deleteById(1L);
+        verify(employeeStatsService, times(1)).recordDeleted("Engineering", "Senior Developer");
     }
 }
@@ -0,0 +1,106 @@
+package com.lahirucw.emp.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import com.lahirucw.emp.repository.EmployeeRepository;
+import com.lahirucw.emp.repository.EmployeeRepository.DepartmentRoleCount;
+
+@ExtendWith(MockitoExtension.class)
+public class EmployeeStatsServiceTest {
+
+    @Mock
+    private EmployeeRepository employeeRepository;
+
+    @InjectMocks
+    private EmployeeStatsService employeeStatsService;
+
+    private List<DepartmentRoleCount> rows;
+
+    @BeforeEach
+    void setUp() {
+        rows = List.of(
+            row("Engineering", "Senior Developer", 3),
+            row("Engineering", "Manager", 1),
+            row("Sales", "Manager", 2),
+            row(null, "Intern", 1)
+        );
+        when(employeeRepository.countByDepartmentAndRole()).thenReturn(rows);
+    }
+
+    @Test
+    void testLoadsCountsFromDatabaseOnce() {
+        assertEquals(Map.of("Engineering", 4L, "Sales", 2L, "Unassigned", 1L),
+            employeeStatsService.getCountsByDepartment());
+        assertEquals(Map.of("Senior Developer", 3L, "Manager", 3L, "Intern", 1L),
+            employeeStatsService.getCountsByRole());
+        assertEquals(Map.of("Senior Developer", 3L, "Manager", 1L),
+            employeeStatsService.getCountsByDepartmentAndRole().get("Engineering"));
+
+        verify(employeeRepository, times(1)).countByDepartmentAndRole();
+    }
+
+    @Test
+    void testAppliesWritesIncrementally() {
+        employeeStatsService.getCountsByDepartment();
+
+        employeeStatsService.recordCreated("HR", "Manager");
+        employeeStatsService.recordUpdated("Sales", "Manager", "Engineering", "Manager");
+        employeeStatsService.recordDeleted("Sales", "Manager");
+
+        assertEquals(Map.of("Engineering", 5L, "HR", 1L, "Unassigned", 1L),
+            employeeStatsService.getCountsByDepartment());
+        assertEquals(Map.of("Senior Developer", 3L, "Manager", 3L, "Intern", 1L),
+            employeeStatsService.getCountsByRole());
+        assertEquals(Map.of("Senior Developer", 3L, "Manager", 2L),
+            employeeStatsService.getCountsByDepartmentAndRole().get("Engineering"));
+        verify(employeeRepository, times(1)).countByDepartmentAndRole();
+    }
+
+    @Test
+    void testReconcileReplacesCountsFromDatabase() {
+        employeeStatsService.getCountsByDepartment();
+        employeeStatsService.recordCreated("HR", "Manager");
+
+        employeeStatsService.reconcile();
+
+        assertEquals(Map.of("Engineering", 4L, "Sales", 2L, "Unassigned", 1L),
+            employeeStatsService.getCountsByDepartment());
+        verify(employeeRepository, times(2)).countByDepartmentAndRole();
+    }
+
+    @Test
+    void testReconcileKeepsWritesRecordedDuringReload() {
+        employeeStatsService.getCountsByDepartment();
+        when(employeeRepository.countByDepartmentAndRole()).thenAnswer(invocation -> {
+            employeeStatsService.recordCreated("HR", "Manager");
+            return rows;
+        });
+
+        employeeStatsService.reconcile();
+
+        assertEquals(Map.of("Engineering", 4L, "Sales", 2L, "HR", 1L, "Unassigned", 1L),
+            employeeStatsService.getCountsByDepartment());
+    }
+
+    private static DepartmentRoleCount row(String department, String role, long total) {
+        DepartmentRoleCount row = mock(DepartmentRoleCount.class);
+        when(row.getDepartment()).thenReturn(department);
+        when(row.getRole()).thenReturn(role);
+        when(row.getTotal()).thenReturn(total);
+        return row;
+    }
+}